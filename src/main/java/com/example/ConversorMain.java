@@ -0,0 +1,34 @@
+package com.example;
+
+import com.example.batch.ReconciliacionJob;
+import io.quarkus.runtime.Quarkus;
+import io.quarkus.runtime.QuarkusApplication;
+import io.quarkus.runtime.annotations.QuarkusMain;
+import jakarta.inject.Inject;
+
+import java.util.Arrays;
+
+/**
+ * Punto de entrada de la aplicación.
+ * <p>
+ * Sin argumentos levanta el API como siempre; con {@code reconciliar ...}
+ * ejecuta el proceso batch de reconciliación y termina (modo comando):
+ * {@code java -Dquarkus.profile=reconciliacion -jar quarkus-run.jar reconciliar entrada.csv salida.csv [inquilino]}
+ * (el perfil "reconciliacion" no abre los puertos HTTP ni gRPC)
+ */
+@QuarkusMain
+public class ConversorMain implements QuarkusApplication {
+
+    @Inject
+    ReconciliacionJob reconciliacionJob;
+
+    @Override
+    public int run(String... args) throws Exception {
+        if (args.length > 0 && "reconciliar".equals(args[0])) {
+            return reconciliacionJob.ejecutar(Arrays.copyOfRange(args, 1, args.length));
+        }
+
+        Quarkus.waitForExit();
+        return 0;
+    }
+}
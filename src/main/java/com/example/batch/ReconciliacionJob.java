@@ -0,0 +1,212 @@
+package com.example.batch;
+
+import com.example.dto.ConversorRequest;
+import com.example.dto.ConversorResponse;
+import com.example.service.CatalogoInquilinoCache;
+import com.example.service.MonedaService;
+import com.example.service.TasaCambio;
+import com.example.util.Util;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Reconciliación masiva de conversiones históricas (modo comando).
+ * <p>
+ * Lee un CSV {@code monto,monedaOrigen,monedaDestino[,montoEsperado]} por lotes,
+ * convierte cada lote en paralelo con un ForkJoinPool sobre una foto del catálogo
+ * tomada al inicio, y escribe cada resultado en orden:
+ * {@code linea,monto,monedaOrigen,monedaDestino,montoConvertido,montoEsperado,estado}.
+ * La memoria usada depende del tamaño de lote, no del tamaño del fichero.
+ */
+@ApplicationScoped
+public class ReconciliacionJob {
+
+    private static final Logger LOG = Logger.getLogger(ReconciliacionJob.class);
+
+    static final String CABECERA_SALIDA = "linea,monto,monedaOrigen,monedaDestino,montoConvertido,montoEsperado,estado";
+
+    /** Estado de una fila reconciliada; el resumen cuenta sobre él, no sobre el texto de la fila */
+    enum Estado { OK, DIFERENCIA, CALCULADO, ERROR }
+
+    /** Fila de salida junto con su estado */
+    static final class Resultado {
+        final Estado estado;
+        final String fila;
+
+        Resultado(Estado estado, String fila) {
+            this.estado = estado;
+            this.fila = fila;
+        }
+    }
+
+    @ConfigProperty(name = "conversor.reconciliacion.tamano-lote", defaultValue = "10000")
+    int tamanoLote;
+
+    @ConfigProperty(name = "conversor.reconciliacion.paralelismo")
+    Optional<Integer> paralelismo;
+
+    @Inject
+    CatalogoInquilinoCache catalogo;
+
+    /**
+     * @param args entrada salida [inquilino]
+     * @return Código de salida del proceso
+     */
+    public int ejecutar(String... args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            LOG.error("Uso: reconciliar <entrada.csv> <salida.csv> [inquilino]");
+            return 1;
+        }
+
+        if (args.length > 2 && !Util.esInquilinoValido(args[2])) {
+            LOG.error(Util.MENSAJE_INQUILINO_INVALIDO);
+            return 1;
+        }
+
+        Path entrada = Paths.get(args[0]);
+        Path salida = Paths.get(args[1]);
+        String inquilino = Util.normalizarInquilino(args.length > 2 ? args[2] : null);
+
+        // Foto del catálogo: todas las filas se reconcilian contra las mismas tasas
+        Map<String, TasaCambio> tasas = catalogo.obtener(inquilino);
+        int hilos = paralelismo.orElse(Runtime.getRuntime().availableProcessors());
+
+        LOG.infof("Reconciliación iniciada: %s -> %s (inquilino=%s, monedas=%d, hilos=%d, lote=%d)",
+                entrada, salida, inquilino, tasas.size(), hilos, tamanoLote);
+
+        ForkJoinPool pool = new ForkJoinPool(hilos);
+        long inicio = System.nanoTime();
+        long leidas = 0;
+        long lineasFisicas = 0;
+        long diferencias = 0;
+        long errores = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(entrada, StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(salida, StandardCharsets.UTF_8)) {
+
+            writer.write(CABECERA_SALIDA);
+            writer.newLine();
+
+            List<String> lote = new ArrayList<>(tamanoLote);
+            String linea;
+            while (true) {
+                // 1. Leer un lote (la línea de cabecera, si existe, se omite)
+                lote.clear();
+                while (lote.size() < tamanoLote && (linea = reader.readLine()) != null) {
+                    lineasFisicas++;
+                    if (lineasFisicas == 1 && esCabecera(linea)) {
+                        continue;
+                    }
+                    lote.add(linea);
+                }
+                if (lote.isEmpty()) {
+                    break;
+                }
+
+                // 2. Convertir el lote en paralelo conservando el orden; "linea" es el número
+                // de línea real del fichero (solo se omite la cabecera, el lote es contiguo)
+                final long primeraLinea = lineasFisicas - lote.size() + 1;
+                final List<String> actual = lote;
+                Resultado[] resultados = new Resultado[actual.size()];
+                pool.submit(() -> IntStream.range(0, actual.size()).parallel()
+                        .forEach(i -> resultados[i] = reconciliar(primeraLinea + i, actual.get(i), tasas)))
+                        .get();
+
+                // 3. Escribir resultados en orden
+                for (Resultado resultado : resultados) {
+                    if (resultado.estado == Estado.DIFERENCIA) {
+                        diferencias++;
+                    } else if (resultado.estado == Estado.ERROR) {
+                        errores++;
+                    }
+                    writer.write(resultado.fila);
+                    writer.newLine();
+                }
+
+                leidas += actual.size();
+                LOG.infof("Procesadas %d filas (%.0f filas/s)", leidas, filasPorSegundo(leidas, inicio));
+            }
+        } catch (ExecutionException e) {
+            LOG.error("Error en la reconciliación", e.getCause());
+            return 2;
+        } finally {
+            pool.shutdown();
+        }
+
+        LOG.infof("Reconciliación terminada: %d filas, %d diferencias, %d errores en %.1f s (%.0f filas/s)",
+                leidas, diferencias, errores,
+                (System.nanoTime() - inicio) / 1e9, filasPorSegundo(leidas, inicio));
+        return 0;
+    }
+
+    /**
+     * Reconcilia una fila; nunca lanza excepción, los fallos quedan en la columna estado
+     */
+    static Resultado reconciliar(long numeroLinea, String linea, Map<String, TasaCambio> tasas) {
+        String[] campos = linea.split(",", -1);
+        StringBuilder sb = new StringBuilder(96).append(numeroLinea).append(',');
+
+        if (campos.length < 3) {
+            return error(sb.append(",,,,,"), "formato inválido");
+        }
+
+        String monto = campos[0].trim();
+        String esperado = campos.length > 3 ? campos[3].trim() : "";
+        sb.append(monto).append(',')
+                .append(campos[1].trim()).append(',')
+                .append(campos[2].trim()).append(',');
+
+        BigDecimal valorMonto;
+        BigDecimal valorEsperado;
+        try {
+            valorMonto = new BigDecimal(monto);
+            valorEsperado = esperado.isEmpty() ? null : new BigDecimal(esperado);
+        } catch (NumberFormatException e) {
+            return error(sb.append(',').append(esperado).append(','), "monto inválido");
+        }
+
+        ConversorResponse response;
+        try {
+            response = MonedaService.convertir(tasas, new ConversorRequest(valorMonto, campos[1], campos[2]));
+        } catch (RuntimeException e) {
+            return error(sb.append(',').append(esperado).append(','),
+                    String.valueOf(e.getMessage()).replace(',', ';'));
+        }
+
+        sb.append(response.getMontoConvertido().toPlainString()).append(',').append(esperado).append(',');
+        Estado estado = valorEsperado == null ? Estado.CALCULADO
+                : response.getMontoConvertido().compareTo(valorEsperado) == 0 ? Estado.OK : Estado.DIFERENCIA;
+        return new Resultado(estado, sb.append(estado.name()).toString());
+    }
+
+    private static Resultado error(StringBuilder sb, String mensaje) {
+        return new Resultado(Estado.ERROR, sb.append(Estado.ERROR.name()).append(": ").append(mensaje).toString());
+    }
+
+    private static boolean esCabecera(String linea) {
+        return linea.regionMatches(true, 0, "monto", 0, 5);
+    }
+
+    private static double filasPorSegundo(long filas, long inicio) {
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        return segundos > 0 ? filas / segundos : 0;
+    }
+}
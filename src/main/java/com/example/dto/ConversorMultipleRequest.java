@@ -0,0 +1,55 @@
+package com.example.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.util.List;
+
+public class ConversorMultipleRequest {
+
+    @NotNull(message = "El monto es obligatorio")
+    @DecimalMin(value = "0.0", inclusive = false, message = "El monto debe ser mayor a 0")
+    private BigDecimal monto;
+
+    @NotBlank(message = "La moneda origen no puede estar vacía")
+    private String monedaOrigen;
+
+    // Opcional: si viene vacío se convierte a todas las monedas registradas
+    private List<String> monedasDestino;
+
+    // Constructores
+    public ConversorMultipleRequest() {
+    }
+
+    public ConversorMultipleRequest(BigDecimal monto, String monedaOrigen, List<String> monedasDestino) {
+        this.monto = monto;
+        this.monedaOrigen = monedaOrigen;
+        this.monedasDestino = monedasDestino;
+    }
+
+    // Getters y Setters
+    public BigDecimal getMonto() {
+        return monto;
+    }
+
+    public void setMonto(BigDecimal monto) {
+        this.monto = monto;
+    }
+
+    public String getMonedaOrigen() {
+        return monedaOrigen;
+    }
+
+    public void setMonedaOrigen(String monedaOrigen) {
+        this.monedaOrigen = monedaOrigen;
+    }
+
+    public List<String> getMonedasDestino() {
+        return monedasDestino;
+    }
+
+    public void setMonedasDestino(List<String> monedasDestino) {
+        this.monedasDestino = monedasDestino;
+    }
+}
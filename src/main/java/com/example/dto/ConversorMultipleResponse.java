@@ -0,0 +1,71 @@
+package com.example.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Respuesta columnar de una conversión a varias monedas:
+ * la posición i de cada lista corresponde a la misma moneda destino.
+ */
+public class ConversorMultipleResponse {
+
+    private BigDecimal montoOriginal;
+    private String monedaOrigen;
+    private List<String> monedasDestino;
+    private List<BigDecimal> montosConvertidos;
+    private List<BigDecimal> tiposCambio;
+
+    // Constructores
+    public ConversorMultipleResponse() {
+    }
+
+    public ConversorMultipleResponse(BigDecimal montoOriginal, String monedaOrigen, List<String> monedasDestino,
+                                     List<BigDecimal> montosConvertidos, List<BigDecimal> tiposCambio) {
+        this.montoOriginal = montoOriginal;
+        this.monedaOrigen = monedaOrigen;
+        this.monedasDestino = monedasDestino;
+        this.montosConvertidos = montosConvertidos;
+        this.tiposCambio = tiposCambio;
+    }
+
+    // Getters y Setters
+    public BigDecimal getMontoOriginal() {
+        return montoOriginal;
+    }
+
+    public void setMontoOriginal(BigDecimal montoOriginal) {
+        this.montoOriginal = montoOriginal;
+    }
+
+    public String getMonedaOrigen() {
+        return monedaOrigen;
+    }
+
+    public void setMonedaOrigen(String monedaOrigen) {
+        this.monedaOrigen = monedaOrigen;
+    }
+
+    public List<String> getMonedasDestino() {
+        return monedasDestino;
+    }
+
+    public void setMonedasDestino(List<String> monedasDestino) {
+        this.monedasDestino = monedasDestino;
+    }
+
+    public List<BigDecimal> getMontosConvertidos() {
+        return montosConvertidos;
+    }
+
+    public void setMontosConvertidos(List<BigDecimal> montosConvertidos) {
+        this.montosConvertidos = montosConvertidos;
+    }
+
+    public List<BigDecimal> getTiposCambio() {
+        return tiposCambio;
+    }
+
+    public void setTiposCambio(List<BigDecimal> tiposCambio) {
+        this.tiposCambio = tiposCambio;
+    }
+}
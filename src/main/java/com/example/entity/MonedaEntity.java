@@ -1,21 +1,51 @@
 package com.example.entity;
 
+import com.example.util.Util;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import io.quarkus.panache.common.Sort;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.jpa.HibernateHints;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.text.Normalizer;
+import java.util.List;
 import java.util.Optional;
 
+// Caché de segundo nivel (local a cada instancia): entidades por ID y por id natural
+// (inquilino + nombreMoneda). Ver ExpiracionCacheSegundoNivel para el límite de antigüedad.
 @Entity
-@Table(name = "moneda")
+@Cacheable
+@NaturalIdCache
+@Table(name = "moneda",
+        uniqueConstraints = @UniqueConstraint(name = "uk_moneda_inquilino_nombre",
+                columnNames = {"inquilino", "nombreMoneda"}))
 public class MonedaEntity extends PanacheEntity {
 
+    public static final int ESCALA_POR_DEFECTO = 2;
+    public static final RoundingMode MODO_REDONDEO_POR_DEFECTO = RoundingMode.HALF_UP;
+
+    // Catálogo (unidad de negocio) al que pertenece la moneda; lo asigna el servicio
+    @NaturalId(mutable = true)
+    @Column(nullable = false, length = 64)
+    @ColumnDefault("'" + Util.INQUILINO_POR_DEFECTO + "'")
+    public String inquilino;
+
     @NotBlank(message = "El nombre de la moneda no puede estar vacío")
-    @Column(unique = true, nullable = false)
+    @NaturalId(mutable = true)
+    @Column(nullable = false)
     public String nombreMoneda;
 
     @NotNull(message = "El tipo de cambio es obligatorio")
@@ -23,6 +53,22 @@ public class MonedaEntity extends PanacheEntity {
     @Column(nullable = false)
     public BigDecimal tipoCambio;
 
+    // Decimales de la moneda (JPY = 0, criptomonedas = 8, ...)
+    @Min(value = 0, message = "La escala no puede ser negativa")
+    @Max(value = 18, message = "La escala no puede ser mayor a 18")
+    public Integer escala;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    public RoundingMode modoRedondeo;
+
+    // UNNECESSARY haría fallar con ArithmeticException toda conversión hacia esta moneda
+    @JsonIgnore
+    @AssertTrue(message = "El modo de redondeo UNNECESSARY no está permitido")
+    public boolean isModoRedondeoValido() {
+        return modoRedondeo != RoundingMode.UNNECESSARY;
+    }
+
     // Constructor vacío
     public MonedaEntity() {
     }
@@ -38,12 +84,47 @@ public class MonedaEntity extends PanacheEntity {
     @PreUpdate
     public void normalizarCampos() {
         this.nombreMoneda = normalizarCadena(this.nombreMoneda);
+        this.inquilino = Util.normalizarInquilino(this.inquilino);
+        if (this.escala == null) this.escala = ESCALA_POR_DEFECTO;
+        if (this.modoRedondeo == null) this.modoRedondeo = MODO_REDONDEO_POR_DEFECTO;
+    }
+
+    // Redondea un monto según la política de esta moneda
+    // (filas anteriores a la columna usan 2 decimales HALF_UP)
+    public BigDecimal redondear(BigDecimal valor) {
+        return redondear(valor, escala, modoRedondeo);
+    }
+
+    public static BigDecimal redondear(BigDecimal valor, Integer escala, RoundingMode modoRedondeo) {
+        return Util.redondarDecimales(valor,
+                escala != null ? escala : ESCALA_POR_DEFECTO,
+                modoRedondeo != null ? modoRedondeo : MODO_REDONDEO_POR_DEFECTO);
     }
 
     // Método de búsqueda personalizado
-    public static MonedaEntity findByNombreMoneda(String nombreMoneda) {
+    public static MonedaEntity findByNombreMoneda(String inquilino, String nombreMoneda) {
         System.out.println("findByNombreMoneda:"+normalizarCadena(nombreMoneda));
-        return find("nombreMoneda = ?1", normalizarCadena(nombreMoneda)).firstResult();
+        // Búsqueda por id natural: se resuelve desde la caché de segundo nivel si está disponible
+        return getEntityManager().unwrap(Session.class)
+                .byNaturalId(MonedaEntity.class)
+                .using("inquilino", Util.normalizarInquilino(inquilino))
+                .using("nombreMoneda", normalizarCadena(nombreMoneda))
+                .load();
+    }
+
+    // Todas las monedas de un catálogo ordenadas por nombre (caché de consultas)
+    public static List<MonedaEntity> listByInquilino(String inquilino) {
+        return find("inquilino = ?1", Sort.by("nombreMoneda"), Util.normalizarInquilino(inquilino))
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
+                .list();
+    }
+
+    // Igual que listByInquilino pero siempre contra la BD (refresca la caché de entidades):
+    // la usa el catálogo en memoria para ver cambios hechos por otras instancias
+    public static List<MonedaEntity> listByInquilinoSinCache(String inquilino) {
+        return find("inquilino = ?1", Sort.by("nombreMoneda"), Util.normalizarInquilino(inquilino))
+                .withHint(HibernateHints.HINT_CACHE_MODE, CacheMode.REFRESH)
+                .list();
     }
 
 
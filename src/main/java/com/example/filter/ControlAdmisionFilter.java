@@ -0,0 +1,147 @@
+package com.example.filter;
+
+import com.example.dto.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+
+/**
+ * Control de admisión por tipo de endpoint.
+ * <p>
+ * Las escrituras (POST/PUT/PATCH/DELETE sobre monedas) y las lecturas
+ * (consultas y endpoints {@link Lectura}, como los cálculos de conversión)
+ * tienen cupos de concurrencia separados, de modo que un mantenimiento masivo
+ * del catálogo no deje sin conexiones del pool a /calcular. Cuando no hay cupo la petición se rechaza de inmediato
+ * con 429 y cabecera Retry-After, sin encolarla.
+ * <p>
+ * Cada cupo es un {@link LimiteAdaptativo}: parte del máximo configurado y se
+ * ajusta (AIMD) según la latencia que este mismo filtro mide en cada petición.
+ */
+@Provider
+@Priority(Priorities.USER - 100)
+public class ControlAdmisionFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final Logger LOG = Logger.getLogger(ControlAdmisionFilter.class);
+
+    private static final String PROPIEDAD_PERMISO = ControlAdmisionFilter.class.getName() + ".permiso";
+    private static final String PROPIEDAD_INICIO = ControlAdmisionFilter.class.getName() + ".inicio";
+
+    @ConfigProperty(name = "conversor.admision.lectura.max-concurrentes", defaultValue = "16")
+    int maxLecturas;
+
+    @ConfigProperty(name = "conversor.admision.lectura.min-concurrentes", defaultValue = "2")
+    int minLecturas;
+
+    @ConfigProperty(name = "conversor.admision.lectura.latencia-objetivo", defaultValue = "PT0.2S")
+    Duration latenciaObjetivoLecturas;
+
+    @ConfigProperty(name = "conversor.admision.escritura.max-concurrentes", defaultValue = "4")
+    int maxEscrituras;
+
+    @ConfigProperty(name = "conversor.admision.escritura.min-concurrentes", defaultValue = "1")
+    int minEscrituras;
+
+    @ConfigProperty(name = "conversor.admision.escritura.latencia-objetivo", defaultValue = "PT1S")
+    Duration latenciaObjetivoEscrituras;
+
+    @ConfigProperty(name = "conversor.admision.retry-after-segundos", defaultValue = "1")
+    int retryAfterSegundos;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    private LimiteAdaptativo lecturas;
+    private LimiteAdaptativo escrituras;
+    private Counter lecturasRechazadas;
+    private Counter escriturasRechazadas;
+
+    @PostConstruct
+    void init() {
+        lecturas = new LimiteAdaptativo(minLecturas, maxLecturas, latenciaObjetivoLecturas);
+        escrituras = new LimiteAdaptativo(minEscrituras, maxEscrituras, latenciaObjetivoEscrituras);
+
+        registry.gauge("conversor.admision.en.curso", Tags.of("clase", "lectura"),
+                lecturas, LimiteAdaptativo::getEnCurso);
+        registry.gauge("conversor.admision.en.curso", Tags.of("clase", "escritura"),
+                escrituras, LimiteAdaptativo::getEnCurso);
+        registry.gauge("conversor.admision.limite", Tags.of("clase", "lectura"),
+                lecturas, LimiteAdaptativo::getLimite);
+        registry.gauge("conversor.admision.limite", Tags.of("clase", "escritura"),
+                escrituras, LimiteAdaptativo::getLimite);
+        lecturasRechazadas = registry.counter("conversor.admision.rechazadas", "clase", "lectura");
+        escriturasRechazadas = registry.counter("conversor.admision.rechazadas", "clase", "escritura");
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        boolean escritura = esEscritura(requestContext);
+        LimiteAdaptativo cupo = escritura ? escrituras : lecturas;
+
+        // Sin espera: si no hay cupo se rechaza al instante
+        if (!cupo.intentarAdquirir()) {
+            (escritura ? escriturasRechazadas : lecturasRechazadas).increment();
+            LOG.warnf("Petición rechazada por control de admisión (%s): %s %s",
+                    escritura ? "escritura" : "lectura",
+                    requestContext.getMethod(), requestContext.getUriInfo().getPath());
+
+            ErrorResponse error = new ErrorResponse(429,
+                    "Too Many Requests",
+                    "Servicio saturado, reintente en " + retryAfterSegundos + " segundo(s)");
+            requestContext.abortWith(Response.status(Response.Status.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, retryAfterSegundos)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(error)
+                    .build());
+            return;
+        }
+
+        requestContext.setProperty(PROPIEDAD_PERMISO, cupo);
+        requestContext.setProperty(PROPIEDAD_INICIO, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        Object cupo = requestContext.getProperty(PROPIEDAD_PERMISO);
+        if (cupo instanceof LimiteAdaptativo) {
+            requestContext.removeProperty(PROPIEDAD_PERMISO);
+            long inicio = (Long) requestContext.getProperty(PROPIEDAD_INICIO);
+            ((LimiteAdaptativo) cupo).liberar(System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Se clasifica por el método de recurso que atiende la petición, no por la ruta:
+     * los cálculos de conversión se hacen por POST pero están marcados con {@link Lectura}.
+     */
+    private boolean esEscritura(ContainerRequestContext requestContext) {
+        String metodo = requestContext.getMethod();
+        if (HttpMethod.GET.equals(metodo) || HttpMethod.HEAD.equals(metodo) || HttpMethod.OPTIONS.equals(metodo)) {
+            return false;
+        }
+        Method recurso = resourceInfo.getResourceMethod();
+        return recurso == null || !recurso.isAnnotationPresent(Lectura.class);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.filter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un endpoint que no usa GET pero solo lee el catálogo (p. ej. los cálculos
+ * de conversión por POST): {@link ControlAdmisionFilter} lo admite con el cupo de lecturas
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Lectura {
+}
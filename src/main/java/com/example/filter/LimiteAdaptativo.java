@@ -0,0 +1,72 @@
+package com.example.filter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Límite de concurrencia AIMD guiado por la latencia medida.
+ * <p>
+ * Mientras las peticiones terminan por debajo de la latencia objetivo y el cupo
+ * se está usando, el límite sube de a poco (+1 por cada "ventana" de peticiones);
+ * cuando una petición supera el objetivo se reduce de golpe (x0.9), como mucho
+ * una vez por intervalo objetivo, sin bajar del mínimo ni pasar del máximo.
+ */
+final class LimiteAdaptativo {
+
+    private static final double FACTOR_REDUCCION = 0.9;
+
+    private final int minimo;
+    private final int maximo;
+    private final long objetivoNanos;
+    private final AtomicInteger enCurso = new AtomicInteger();
+
+    private volatile double limite;
+    private long ultimaReduccion;
+
+    LimiteAdaptativo(int minimo, int maximo, Duration latenciaObjetivo) {
+        this.minimo = Math.max(1, Math.min(minimo, maximo));
+        this.maximo = maximo;
+        this.objetivoNanos = latenciaObjetivo.toNanos();
+        this.limite = maximo;
+        this.ultimaReduccion = System.nanoTime();
+    }
+
+    /**
+     * @return true si la petición entra en el límite actual (sin espera)
+     */
+    boolean intentarAdquirir() {
+        if (enCurso.incrementAndGet() > (int) limite) {
+            enCurso.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Libera el cupo y ajusta el límite con la latencia de la petición
+     */
+    void liberar(long latenciaNanos) {
+        int enCursoAlTerminar = enCurso.getAndDecrement();
+        ajustar(latenciaNanos, enCursoAlTerminar, System.nanoTime());
+    }
+
+    private synchronized void ajustar(long latenciaNanos, int enCursoAlTerminar, long ahora) {
+        if (latenciaNanos > objetivoNanos) {
+            if (ahora - ultimaReduccion >= objetivoNanos) {
+                limite = Math.max(minimo, limite * FACTOR_REDUCCION);
+                ultimaReduccion = ahora;
+            }
+        } else if (enCursoAlTerminar * 2 >= limite) {
+            // Solo crece si el cupo actual realmente se está usando
+            limite = Math.min(maximo, limite + 1.0 / limite);
+        }
+    }
+
+    int getEnCurso() {
+        return enCurso.get();
+    }
+
+    int getLimite() {
+        return (int) limite;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.grpc;
+
+import com.example.dto.ConversorRequest;
+import com.example.dto.ConversorResponse;
+import com.example.service.CatalogoInquilinoCache;
+import com.example.service.MonedaService;
+import com.example.service.TasaCambio;
+import com.example.util.Util;
+import com.google.protobuf.ByteString;
+import io.grpc.Status;
+import io.quarkus.grpc.GrpcService;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import org.jboss.logging.Logger;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Servicio gRPC que expone {@link MonedaService} junto al API REST.
+ * <p>
+ * Las consultas a BD son bloqueantes, por eso cada conversión se despacha
+ * al pool de workers y el event loop de Vert.x nunca queda bloqueado.
+ */
+@GrpcService
+public class ConversorGrpcService implements Conversor {
+
+    private static final Logger LOG = Logger.getLogger(ConversorGrpcService.class);
+
+    // Intervalo de WatchRates en segundos; fuera de rango se ajusta al límite más cercano
+    static final int INTERVALO_POR_DEFECTO = 5;
+    static final int INTERVALO_MINIMO = 2;
+    static final int INTERVALO_MAXIMO = 3600;
+
+    // Rango admitido para los Decimal recibidos: escala |s| <= 64 y hasta 32 bytes (~77 dígitos)
+    static final int MAX_ESCALA_DECIMAL = 64;
+    static final int MAX_BYTES_DECIMAL = 32;
+
+    @Inject
+    MonedaService monedaService;
+
+    @Inject
+    CatalogoInquilinoCache catalogo;
+
+    /**
+     * Conversión unitaria: los errores se devuelven como status gRPC
+     */
+    @Override
+    public Uni<ConvertResponse> convert(ConvertRequest request) {
+        return Uni.createFrom().item(() -> convertir(request))
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                .onFailure(NotFoundException.class)
+                .transform(e -> Status.NOT_FOUND.withDescription(e.getMessage()).asRuntimeException())
+                .onFailure(e -> e instanceof IllegalArgumentException || e instanceof ArithmeticException)
+                .transform(e -> Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+    }
+
+    /**
+     * Conversiones en stream: un elemento inválido (o cuyo cálculo desborda)
+     * responde con "error" en lugar de cerrar el stream completo
+     */
+    @Override
+    public Multi<ConvertResponse> convertStream(Multi<ConvertRequest> requests) {
+        return requests
+                .emitOn(Infrastructure.getDefaultWorkerPool())
+                .map(request -> {
+                    try {
+                        return convertir(request);
+                    } catch (NotFoundException | IllegalArgumentException | ArithmeticException e) {
+                        LOG.warnf("ConvertStream - elemento rechazado: %s", e.getMessage());
+                        return ConvertResponse.newBuilder()
+                                .setMonedaOrigen(request.getMonedaOrigen())
+                                .setMonedaDestino(request.getMonedaDestino())
+                                .setError(e.getMessage())
+                                .build();
+                    }
+                });
+    }
+
+    /**
+     * Emite el catálogo de tipos de cambio al suscribirse y luego solo cuando cambia
+     */
+    @Override
+    public Multi<RatesSnapshot> watchRates(WatchRatesRequest request) {
+        if (!Util.esInquilinoValido(request.getInquilino())) {
+            return Multi.createFrom().failure(
+                    Status.INVALID_ARGUMENT.withDescription(Util.MENSAJE_INQUILINO_INVALIDO).asRuntimeException());
+        }
+        int intervalo = intervaloSegundos(request.getIntervaloSegundos());
+
+        return Multi.createFrom().ticks()
+                .startingAfter(Duration.ZERO)
+                .every(Duration.ofSeconds(intervalo))
+                .onOverflow().drop()
+                .emitOn(Infrastructure.getDefaultWorkerPool())
+                .map(tick -> leerTasas(request.getInquilino()))
+                .skip().repetitions()
+                .map(tasas -> RatesSnapshot.newBuilder()
+                        .addAllTasas(tasas)
+                        .setTimestamp(System.currentTimeMillis())
+                        .build());
+    }
+
+    static int intervaloSegundos(int solicitado) {
+        if (solicitado <= 0) {
+            return INTERVALO_POR_DEFECTO;
+        }
+        return Math.min(Math.max(solicitado, INTERVALO_MINIMO), INTERVALO_MAXIMO);
+    }
+
+    private ConvertResponse convertir(ConvertRequest request) {
+        if (!Util.esInquilinoValido(request.getInquilino())) {
+            throw new IllegalArgumentException(Util.MENSAJE_INQUILINO_INVALIDO);
+        }
+        BigDecimal monto = request.hasMonto() ? aBigDecimal(request.getMonto()) : null;
+        if (!Util.esMayorACero(monto)) {
+            throw new IllegalArgumentException("El monto debe ser mayor a 0");
+        }
+        if (request.getMonedaOrigen().isBlank() || request.getMonedaDestino().isBlank()) {
+            throw new IllegalArgumentException("La moneda origen y destino no pueden estar vacías");
+        }
+
+        ConversorResponse response = monedaService.calcularConversion(request.getInquilino(),
+                new ConversorRequest(monto, request.getMonedaOrigen(), request.getMonedaDestino()));
+
+        return ConvertResponse.newBuilder()
+                .setMontoOriginal(aDecimal(response.getMontoOriginal()))
+                .setMontoConvertido(aDecimal(response.getMontoConvertido()))
+                .setMonedaOrigen(response.getMonedaOrigen())
+                .setMonedaDestino(response.getMonedaDestino())
+                .setTipoCambio(aDecimal(response.getTipoCambio()))
+                .build();
+    }
+
+    /**
+     * Lee el catálogo en memoria del inquilino (sin consulta a BD ni logs por tick),
+     * ya ordenado por nombre para detectar repeticiones entre lecturas
+     */
+    private List<Tasa> leerTasas(String inquilino) {
+        Collection<TasaCambio> catalogoActual = catalogo.obtener(Util.normalizarInquilino(inquilino)).values();
+
+        List<Tasa> tasas = new ArrayList<>(catalogoActual.size());
+        for (TasaCambio tasa : catalogoActual) {
+            tasas.add(Tasa.newBuilder()
+                    .setNombreMoneda(tasa.getNombreMoneda())
+                    .setTipoCambio(aDecimal(tasa.getTipoCambio()))
+                    .setEscala(tasa.getEscala())
+                    .setModoRedondeo(tasa.getModoRedondeo().name())
+                    .build());
+        }
+        return tasas;
+    }
+
+    static Decimal aDecimal(BigDecimal valor) {
+        return Decimal.newBuilder()
+                .setValorSinEscala(ByteString.copyFrom(valor.unscaledValue().toByteArray()))
+                .setEscala(valor.scale())
+                .build();
+    }
+
+    static BigDecimal aBigDecimal(Decimal decimal) {
+        if (decimal.getValorSinEscala().isEmpty()) {
+            return null;
+        }
+        // Límites para que un valor enviado por el cliente no dispare redondeos
+        // de miles de millones de dígitos (escala negativa enorme) al aplicar setScale
+        // Comparación directa: Math.abs(Integer.MIN_VALUE) sigue siendo negativo
+        if (decimal.getEscala() < -MAX_ESCALA_DECIMAL || decimal.getEscala() > MAX_ESCALA_DECIMAL) {
+            throw new IllegalArgumentException("Escala fuera de rango: " + decimal.getEscala()
+                    + " (máximo +/-" + MAX_ESCALA_DECIMAL + ")");
+        }
+        if (decimal.getValorSinEscala().size() > MAX_BYTES_DECIMAL) {
+            throw new IllegalArgumentException("Monto con demasiados dígitos (máximo "
+                    + MAX_BYTES_DECIMAL + " bytes)");
+        }
+        return new BigDecimal(new BigInteger(decimal.getValorSinEscala().toByteArray()), decimal.getEscala());
+    }
+}
@@ -1,14 +1,22 @@
 package com.example.resource;
 
+import com.example.dto.ConversorMultipleRequest;
+import com.example.dto.ConversorMultipleResponse;
 import com.example.dto.ConversorRequest;
 import com.example.dto.ConversorResponse;
 import com.example.dto.ErrorResponse;
+import com.example.filter.Lectura;
+import com.example.service.CatalogoInquilinoCache;
 import com.example.service.MonedaService;
+import com.example.util.InquilinoValido;
 import com.example.util.Util;
 import com.example.entity.MonedaEntity;
+import com.example.provider.CborProvider;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
@@ -19,18 +27,33 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.jboss.logging.Logger;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Path("/api/conversor")
-@Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, CborProvider.APPLICATION_CBOR})
+@Consumes({MediaType.APPLICATION_JSON, CborProvider.APPLICATION_CBOR})
 @Tag(name = "Conversor de Monedas", description = "API REST para conversión de tipos de cambio")
 public class MonedaResource {
     private static final Logger LOG = Logger.getLogger(MonedaResource.class);
 
+    /**
+     * Cabecera que elige el catálogo de monedas (unidad de negocio);
+     * si no se envía se usa el catálogo por defecto
+     */
+    public static final String HEADER_INQUILINO = "X-Inquilino";
+
     @Inject
     MonedaService monedaService;
 
+    @Inject
+    CatalogoInquilinoCache catalogo;
+
+    @Inject
+    Validator validator;
+
     /**
      * Endpoint de prueba
      */
@@ -60,11 +83,11 @@ public class MonedaResource {
     @APIResponse(responseCode = "409", description = "Moneda ya existe",
             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     @APIResponse(responseCode = "400", description = "Datos inválidos")
-    public Response registrarMoneda(@Valid MonedaEntity moneda) {
+    public Response registrarMoneda(@HeaderParam(HEADER_INQUILINO) @InquilinoValido String inquilino, @Valid MonedaEntity moneda) {
         LOG.infof("POST /api/conversor/moneda - Registrando: %s", moneda.nombreMoneda);
 
         try {
-            MonedaEntity monedaCreada = monedaService.registrarMoneda(moneda);
+            MonedaEntity monedaCreada = monedaService.registrarMoneda(inquilino, moneda);
             return Response.status(Response.Status.CREATED).entity(monedaCreada).build();
         } catch (WebApplicationException e) {
             ErrorResponse error = new ErrorResponse(e.getResponse().getStatus(),
@@ -90,11 +113,11 @@ public class MonedaResource {
     @APIResponse(responseCode = "200", description = "Lista de monedas",
             content = @Content(schema = @Schema(implementation = MonedaEntity.class)))
     @APIResponse(responseCode = "404", description = "No hay monedas registradas")
-    public Response listarMonedas() {
+    public Response listarMonedas(@HeaderParam(HEADER_INQUILINO) @InquilinoValido String inquilino) {
         LOG.info("GET /api/conversor/monedas - Listando todas las monedas");
 
         try {
-            List<MonedaEntity> monedas = monedaService.listarMonedas();
+            List<MonedaEntity> monedas = monedaService.listarMonedas(inquilino);
             return Response.ok(monedas).build();
         } catch (NotFoundException e) {
             ErrorResponse error = new ErrorResponse(404,
@@ -113,11 +136,11 @@ public class MonedaResource {
     @Operation(summary = "Buscar moneda por ID", description = "Obtiene una moneda específica por su ID")
     @APIResponse(responseCode = "200", description = "Moneda encontrada")
     @APIResponse(responseCode = "404", description = "Moneda no encontrada")
-    public Response buscarMonedaId(@QueryParam("id") Long id) {
+    public Response buscarMonedaId(@HeaderParam(HEADER_INQUILINO) @InquilinoValido String inquilino, @QueryParam("id") Long id) {
         LOG.infof("GET /api/conversor/moneda?id=%d - Buscando moneda", id);
 
         try {
-            MonedaEntity moneda = monedaService.buscarPorId(id);
+            MonedaEntity moneda = monedaService.buscarPorId(inquilino, id);
             return Response.ok(moneda).build();
         } catch (NotFoundException e) {
             ErrorResponse error = new ErrorResponse(404,
@@ -133,9 +156,9 @@ public class MonedaResource {
      */
     @GET
     @Path("/moneda/{nombre}")
-    public Response buscarNombre(@PathParam("nombre") String nombre) {
+    public Response buscarNombre(@HeaderParam(HEADER_INQUILINO) @InquilinoValido String inquilino, @PathParam("nombre") String nombre) {
         LOG.infof("GET /api/conversor/moneda/%d - Buscando moneda", nombre);
-        MonedaEntity moneda = MonedaEntity.findByNombreMoneda(nombre);
+        MonedaEntity moneda = MonedaEntity.findByNombreMoneda(inquilino, nombre);
         if (moneda == null) {
             return Response.status(Response.Status.NOT_FOUND).build();
         }
@@ -154,26 +177,44 @@ public class MonedaResource {
     @PATCH
     @Path("/moneda/{nombre}")
     @Transactional
-    @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
     public Response actualizarParcial(
+            @HeaderParam(HEADER_INQUILINO) @InquilinoValido String inquilino,
             @PathParam("nombre") String nombre,
             MonedaEntity cambios) {
 
         // 1️⃣ Buscar la moneda existente
-        MonedaEntity monedaExistente = MonedaEntity.findByNombreMoneda(nombre);
+        MonedaEntity monedaExistente = MonedaEntity.findByNombreMoneda(inquilino, nombre);
         if (monedaExistente == null) {
             return Response.status(Response.Status.NOT_FOUND)
                     .entity("No se encontró una moneda: " + Util.normalizarCadena(nombre))
                     .build();
         }
 
-        // 2️⃣ Actualizar solo los campos enviados (no nulos)
+        // 2️⃣ Validar los campos enviados (el body parcial no pasa por @Valid)
+        Set<ConstraintViolation<MonedaEntity>> violaciones = new LinkedHashSet<>();
+        if (cambios.tipoCambio != null) {
+            violaciones.addAll(validator.validateProperty(cambios, "tipoCambio"));
+        }
+        if (cambios.escala != null) {
+            violaciones.addAll(validator.validateProperty(cambios, "escala"));
+        }
+        if (cambios.modoRedondeo != null) {
+            violaciones.addAll(validator.validateProperty(cambios, "modoRedondeoValido"));
+        }
+        if (!violaciones.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(violaciones.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .collect(Collectors.joining("; ")))
+                    .build();
+        }
+
+        // 3️⃣ Actualizar solo los campos enviados (no nulos)
         if (cambios.nombreMoneda != null && !cambios.nombreMoneda.isBlank()) {
             String nombreNormalizado = Util.normalizarCadena(cambios.nombreMoneda);
 
-            // Verificar duplicados
-            MonedaEntity duplicado = MonedaEntity.find("nombreMoneda = ?1", nombreNormalizado).firstResult();
+            // Verificar duplicados dentro del mismo catálogo
+            MonedaEntity duplicado = MonedaEntity.findByNombreMoneda(inquilino, nombreNormalizado);
             if (duplicado != null && !duplicado.nombreMoneda.equals(nombre)) {
                 return Response.status(Response.Status.CONFLICT)
                         .entity("Ya existe otra moneda con el nombre: " + nombreNormalizado)
@@ -187,10 +228,19 @@ public class MonedaResource {
             monedaExistente.tipoCambio = cambios.tipoCambio;
         }
 
-        // 3️⃣ Persistir los cambios
+        if (cambios.escala != null) {
+            monedaExistente.escala = cambios.escala;
+        }
+
+        if (cambios.modoRedondeo != null) {
+            monedaExistente.modoRedondeo = cambios.modoRedondeo;
+        }
+
+        // 4️⃣ Persistir los cambios
         monedaExistente.persist();
+        catalogo.invalidar(monedaExistente.inquilino);
 
-        // 4️⃣ Retornar la entidad actualizada
+        // 5️⃣ Retornar la entidad actualizada
         return Response.ok(monedaExistente).build();
     }
 
@@ -210,13 +260,14 @@ public class MonedaResource {
     @APIResponse(responseCode = "200", description = "Moneda actualizada")
     @APIResponse(responseCode = "404", description = "Moneda no encontrada")
     public Response actualizarMoneda(
+            @HeaderParam(HEADER_INQUILINO) @InquilinoValido String inquilino,
             @PathParam("nombreMoneda") String nombreMoneda,
             @Valid MonedaEntity moneda) {
 
         LOG.infof("PUT /api/conversor/moneda/%s - Actualizando moneda", nombreMoneda);
 
         try {
-            MonedaEntity monedaActualizada = monedaService.actualizarMoneda(nombreMoneda, moneda);
+            MonedaEntity monedaActualizada = monedaService.actualizarMoneda(inquilino, nombreMoneda, moneda);
             return Response.ok(monedaActualizada).build();
         } catch (NotFoundException e) {
             ErrorResponse error = new ErrorResponse(404,
@@ -240,11 +291,11 @@ public class MonedaResource {
     @Operation(summary = "Eliminar moneda", description = "Elimina una moneda del sistema")
     @APIResponse(responseCode = "204", description = "Moneda eliminada")
     @APIResponse(responseCode = "404", description = "Moneda no encontrada")
-    public Response eliminarMoneda(@PathParam("id") Long id) {
+    public Response eliminarMoneda(@HeaderParam(HEADER_INQUILINO) @InquilinoValido String inquilino, @PathParam("id") Long id) {
         LOG.infof("DELETE /api/conversor/moneda/%d - Eliminando moneda", id);
 
         try {
-            monedaService.eliminarMoneda(id);
+            monedaService.eliminarMoneda(inquilino, id);
             return Response.noContent().build();
         } catch (NotFoundException e) {
             ErrorResponse error = new ErrorResponse(404,
@@ -276,6 +327,7 @@ public class MonedaResource {
      */
     @POST
     @Path("/calcular")
+    @Lectura
     @Operation(
             summary = "Calcular conversión de moneda",
             description = "Calcula la conversión entre dos monedas aplicando el tipo de cambio registrado"
@@ -294,12 +346,12 @@ public class MonedaResource {
             responseCode = "400",
             description = "Datos de entrada inválidos"
     )
-    public Response calcularConversion(@Valid ConversorRequest request) {
+    public Response calcularConversion(@HeaderParam(HEADER_INQUILINO) @InquilinoValido String inquilino, @Valid ConversorRequest request) {
         LOG.infof("POST /api/conversor/calcular - Conversión: %s %s -> %s",
                 request.getMonto(), request.getMonedaOrigen(), request.getMonedaDestino());
 
         try {
-            ConversorResponse response = monedaService.calcularConversion(request);
+            ConversorResponse response = monedaService.calcularConversion(inquilino, request);
             return Response.ok(response).build();
 
         } catch (NotFoundException e) {
@@ -318,4 +370,69 @@ public class MonedaResource {
         }
     }
 
+    /**
+     * 9. CALCULAR CONVERSIÓN A VARIAS MONEDAS
+     * POST /api/conversor/calcular/todas
+     *
+     * Ejemplo Request (sin "monedasDestino" convierte a todas las registradas):
+     * {
+     *   "monto": 100,
+     *   "monedaOrigen": "Soles",
+     *   "monedasDestino": ["euro", "dólar"]
+     * }
+     *
+     * Ejemplo Response:
+     * {
+     *   "montoOriginal": 100.00,
+     *   "monedaOrigen": "SOLES",
+     *   "monedasDestino": ["EURO", "DOLAR"],
+     *   "montosConvertidos": [396.00, 375.00],
+     *   "tiposCambio": [3.96, 3.75]
+     * }
+     */
+    @POST
+    @Path("/calcular/todas")
+    @Lectura
+    @Operation(
+            summary = "Calcular conversión a varias monedas",
+            description = "Convierte un monto a varias monedas destino (o a todas) en una sola operación"
+    )
+    @APIResponse(
+            responseCode = "200",
+            description = "Conversiones calculadas exitosamente",
+            content = @Content(schema = @Schema(implementation = ConversorMultipleResponse.class))
+    )
+    @APIResponse(
+            responseCode = "404",
+            description = "Alguna moneda destino no encontrada",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+    )
+    @APIResponse(
+            responseCode = "400",
+            description = "Datos de entrada inválidos"
+    )
+    public Response calcularConversionMultiple(@HeaderParam(HEADER_INQUILINO) @InquilinoValido String inquilino, @Valid ConversorMultipleRequest request) {
+        LOG.infof("POST /api/conversor/calcular/todas - Conversión: %s %s -> %s",
+                request.getMonto(), request.getMonedaOrigen(), request.getMonedasDestino());
+
+        try {
+            ConversorMultipleResponse response = monedaService.calcularConversionMultiple(inquilino, request);
+            return Response.ok(response).build();
+
+        } catch (NotFoundException e) {
+            LOG.warnf("Moneda no encontrada: %s", e.getMessage());
+            ErrorResponse error = new ErrorResponse(404,
+                    "Not Found",
+                    e.getMessage());
+            return Response.status(Response.Status.NOT_FOUND).entity(error).build();
+
+        } catch (Exception e) {
+            LOG.error("Error al calcular conversión múltiple", e);
+            ErrorResponse error = new ErrorResponse(500,
+                    "Error interno",
+                    "Error al calcular la conversión");
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(error).build();
+        }
+    }
+
 }
\ No newline at end of file
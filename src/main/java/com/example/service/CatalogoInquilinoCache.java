@@ -0,0 +1,184 @@
+package com.example.service;
+
+import com.example.entity.MonedaEntity;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catálogos de tipos de cambio en memoria, uno por inquilino.
+ * <p>
+ * Cada catálogo se carga la primera vez que se usa, se recarga al superar
+ * su edad máxima (cambios hechos por otras instancias) y se descarta cuando
+ * lleva tiempo sin usarse. Las escrituras lo invalidan al confirmar la transacción.
+ * Los catálogos vacíos (inquilinos sin monedas o inexistentes) solo se recuerdan
+ * durante un TTL corto y en un número acotado de entradas: evita una consulta por
+ * llamada sin que cualquier valor de X-Inquilino ocupe memoria indefinidamente.
+ */
+@ApplicationScoped
+public class CatalogoInquilinoCache {
+
+    private static final Logger LOG = Logger.getLogger(CatalogoInquilinoCache.class);
+
+    @ConfigProperty(name = "conversor.catalogo.max-inactividad", defaultValue = "PT10M")
+    Duration maxInactividad;
+
+    @ConfigProperty(name = "conversor.catalogo.max-edad", defaultValue = "PT1M")
+    Duration maxEdad;
+
+    @ConfigProperty(name = "conversor.catalogo.vacio.ttl", defaultValue = "PT10S")
+    Duration ttlVacio;
+
+    @ConfigProperty(name = "conversor.catalogo.vacio.max-entradas", defaultValue = "1000")
+    int maxVacios;
+
+    @Inject
+    TransactionSynchronizationRegistry transacciones;
+
+    private final Map<String, Catalogo> catalogos = new ConcurrentHashMap<>();
+    // Inquilinos sin monedas -> instante (nanoTime) en que se comprobó
+    private final Map<String, Long> vacios = new ConcurrentHashMap<>();
+    // Se incrementa con cada invalidación (de cualquier inquilino)
+    private final AtomicLong generacion = new AtomicLong();
+    private final AtomicLong ultimoDesalojo = new AtomicLong(System.nanoTime());
+
+    /**
+     * Tasas del catálogo del inquilino, indexadas por nombre normalizado y en orden alfabético
+     *
+     * @param inquilino Inquilino ya normalizado
+     * @return Mapa inmutable nombreMoneda -> tasa
+     */
+    @ActivateRequestContext
+    public Map<String, TasaCambio> obtener(String inquilino) {
+        long ahora = System.nanoTime();
+        desalojarInactivos(ahora);
+
+        Long vacioDesde = vacios.get(inquilino);
+        if (vacioDesde != null) {
+            if (ahora - vacioDesde <= ttlVacio.toNanos()) {
+                return Collections.emptyMap();
+            }
+            vacios.remove(inquilino, vacioDesde);
+        }
+
+        Catalogo catalogo = catalogos.get(inquilino);
+        if (catalogo == null || ahora - catalogo.cargadoEn > maxEdad.toNanos()) {
+            catalogo = cargar(inquilino, ahora);
+        }
+        catalogo.ultimoAcceso = ahora;
+        return catalogo.tasas;
+    }
+
+    /**
+     * Descarta el catálogo del inquilino; si hay una transacción activa,
+     * espera a que termine para no recargar datos aún sin confirmar
+     *
+     * @param inquilino Inquilino ya normalizado
+     */
+    public void invalidar(String inquilino) {
+        if (transacciones.getTransactionKey() == null) {
+            invalidarAhora(inquilino);
+            return;
+        }
+
+        transacciones.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                invalidarAhora(inquilino);
+            }
+        });
+    }
+
+    private void invalidarAhora(String inquilino) {
+        generacion.incrementAndGet();
+        catalogos.remove(inquilino);
+        vacios.remove(inquilino);
+        LOG.debugf("Catálogo invalidado: %s", inquilino);
+    }
+
+    private Catalogo cargar(String inquilino, long ahora) {
+        long generacionInicial = generacion.get();
+
+        List<MonedaEntity> monedas = MonedaEntity.listByInquilinoSinCache(inquilino);
+        Map<String, TasaCambio> tasas = new LinkedHashMap<>();
+        for (MonedaEntity moneda : monedas) {
+            tasas.put(moneda.nombreMoneda, new TasaCambio(moneda));
+        }
+        Catalogo catalogo = new Catalogo(Collections.unmodifiableMap(tasas), ahora);
+
+        // Un catálogo vacío solo se recuerda durante ttlVacio
+        if (tasas.isEmpty()) {
+            catalogos.remove(inquilino);
+            recordarVacio(inquilino, ahora, generacionInicial);
+            return catalogo;
+        }
+
+        // Si hubo una escritura durante la carga, no se publica el catálogo leído
+        catalogos.put(inquilino, catalogo);
+        if (generacion.get() != generacionInicial) {
+            catalogos.remove(inquilino, catalogo);
+        }
+
+        LOG.debugf("Catálogo cargado: %s (%d monedas)", inquilino, tasas.size());
+        return catalogo;
+    }
+
+    private void recordarVacio(String inquilino, long ahora, long generacionInicial) {
+        if (vacios.size() >= maxVacios) {
+            vacios.values().removeIf(desde -> ahora - desde > ttlVacio.toNanos());
+            if (vacios.size() >= maxVacios) {
+                return;
+            }
+        }
+
+        vacios.put(inquilino, ahora);
+        if (generacion.get() != generacionInicial) {
+            vacios.remove(inquilino, ahora);
+        }
+    }
+
+    private void desalojarInactivos(long ahora) {
+        long ultimo = ultimoDesalojo.get();
+        long periodo = maxInactividad.toNanos() / 4;
+        if (ahora - ultimo < periodo || !ultimoDesalojo.compareAndSet(ultimo, ahora)) {
+            return;
+        }
+
+        catalogos.entrySet().removeIf(e -> {
+            boolean inactivo = ahora - e.getValue().ultimoAcceso > maxInactividad.toNanos();
+            if (inactivo) {
+                LOG.debugf("Catálogo desalojado por inactividad: %s", e.getKey());
+            }
+            return inactivo;
+        });
+        vacios.values().removeIf(desde -> ahora - desde > ttlVacio.toNanos());
+    }
+
+    private static final class Catalogo {
+        final Map<String, TasaCambio> tasas;
+        final long cargadoEn;
+        volatile long ultimoAcceso;
+
+        Catalogo(Map<String, TasaCambio> tasas, long cargadoEn) {
+            this.tasas = tasas;
+            this.cargadoEn = cargadoEn;
+            this.ultimoAcceso = cargadoEn;
+        }
+    }
+}
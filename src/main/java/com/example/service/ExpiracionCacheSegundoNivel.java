@@ -0,0 +1,50 @@
+package com.example.service;
+
+import com.example.entity.MonedaEntity;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.core.Vertx;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+
+/**
+ * Límite de antigüedad para la caché de segundo nivel de monedas.
+ * <p>
+ * La caché de Hibernate es local a cada instancia y solo expira por inactividad,
+ * así que una entrada muy usada nunca vería los cambios hechos en otra instancia.
+ * Vaciar periódicamente las regiones de MonedaEntity acota esa antigüedad a
+ * {@code conversor.cache.max-edad}.
+ */
+@ApplicationScoped
+public class ExpiracionCacheSegundoNivel {
+
+    private static final Logger LOG = Logger.getLogger(ExpiracionCacheSegundoNivel.class);
+
+    @ConfigProperty(name = "conversor.cache.max-edad", defaultValue = "PT1M")
+    Duration maxEdad;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Inject
+    Vertx vertx;
+
+    void iniciar(@Observes StartupEvent event) {
+        vertx.setPeriodic(maxEdad.toMillis(), id -> vaciar());
+        LOG.infof("Caché de segundo nivel de monedas: máxima antigüedad %s", maxEdad);
+    }
+
+    void vaciar() {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(MonedaEntity.class);
+        cache.evictNaturalIdData(MonedaEntity.class);
+        cache.evictDefaultQueryRegion();
+        LOG.debug("Caché de segundo nivel de monedas vaciada");
+    }
+}
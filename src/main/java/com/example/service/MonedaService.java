@@ -1,36 +1,50 @@
 package com.example.service;
 
+import com.example.dto.ConversorMultipleRequest;
+import com.example.dto.ConversorMultipleResponse;
 import com.example.dto.ConversorRequest;
 import com.example.dto.ConversorResponse;
 import com.example.entity.MonedaEntity;
 import com.example.util.Util;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.WebApplicationException;
 import org.jboss.logging.Logger;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @ApplicationScoped
 public class MonedaService {
 
     private static final Logger LOG = Logger.getLogger(MonedaService.class);
 
+    @Inject
+    CatalogoInquilinoCache catalogo;
+
     /**
      * Registra una nueva moneda en el sistema
      *
-     * @param moneda Entidad moneda a registrar
+     * @param inquilino Catálogo de monedas (null = catálogo por defecto)
+     * @param moneda    Entidad moneda a registrar
      * @return Moneda registrada con ID asignado
      */
     @Transactional
-    public MonedaEntity registrarMoneda(MonedaEntity moneda) {
-        // Normalizar el nombre de la moneda
+    public MonedaEntity registrarMoneda(String inquilino, MonedaEntity moneda) {
+        // Normalizar el nombre de la moneda y el inquilino
         String nombreNormalizado = Util.normalizarCadena(moneda.nombreMoneda);
+        String inquilinoNormalizado = Util.normalizarInquilino(inquilino);
 
-        // Verificar si ya existe
-        MonedaEntity monedaExistente = MonedaEntity.findByNombreMoneda(nombreNormalizado);
+        // Verificar si ya existe en el catálogo del inquilino
+        MonedaEntity monedaExistente = MonedaEntity.findByNombreMoneda(inquilinoNormalizado, nombreNormalizado);
         if (monedaExistente != null) {
             LOG.warnf("Intento de registrar moneda duplicada: %s", nombreNormalizado);
             throw new WebApplicationException(
@@ -39,11 +53,13 @@ public class MonedaService {
             );
         }
 
-        // Asignar nombre normalizado
+        // Asignar nombre e inquilino normalizados
         moneda.nombreMoneda = nombreNormalizado;
+        moneda.inquilino = inquilinoNormalizado;
 
         // Persistir en base de datos
         moneda.persist();
+        catalogo.invalidar(inquilinoNormalizado);
 
         LOG.infof("Moneda registrada exitosamente: ID=%d, Nombre=%s, TipoCambio=%s",
                 moneda.id, moneda.nombreMoneda, moneda.tipoCambio);
@@ -52,12 +68,14 @@ public class MonedaService {
     }
 
     /**
-     * Lista todas las monedas registradas
+     * Lista todas las monedas registradas del inquilino
      *
+     * @param inquilino Catálogo de monedas (null = catálogo por defecto)
      * @return Lista de monedas
      */
-    public List<MonedaEntity> listarMonedas() {
-        List<MonedaEntity> monedas = MonedaEntity.listAll();
+    @ActivateRequestContext
+    public List<MonedaEntity> listarMonedas(String inquilino) {
+        List<MonedaEntity> monedas = MonedaEntity.listByInquilino(inquilino);
 
         if (monedas.isEmpty()) {
             LOG.warn("No se encontraron monedas registradas");
@@ -69,15 +87,16 @@ public class MonedaService {
     }
 
     /**
-     * Busca una moneda por su ID
+     * Busca una moneda por su ID dentro del catálogo del inquilino
      *
-     * @param id ID de la moneda
+     * @param inquilino Catálogo de monedas (null = catálogo por defecto)
+     * @param id        ID de la moneda
      * @return Moneda encontrada
      */
-    public MonedaEntity buscarPorId(Long id) {
+    public MonedaEntity buscarPorId(String inquilino, Long id) {
         MonedaEntity moneda = MonedaEntity.findById(id);
 
-        if (moneda == null) {
+        if (moneda == null || !moneda.inquilino.equals(Util.normalizarInquilino(inquilino))) {
             LOG.warnf("Moneda no encontrada con ID: %d", id);
             throw new NotFoundException("Moneda no encontrada con ID: " + id);
         }
@@ -88,17 +107,18 @@ public class MonedaService {
     /**
      * Actualiza una moneda existente
      *
+     * @param inquilino         Catálogo de monedas (null = catálogo por defecto)
      * @param nombreMoneda      Nombre de la moneda a actualizar
      * @param monedaActualizada Datos actualizados
      * @return Moneda actualizada
      */
     @Transactional
-    public MonedaEntity actualizarMoneda(String nombreMoneda, MonedaEntity monedaActualizada) throws Exception {
+    public MonedaEntity actualizarMoneda(String inquilino, String nombreMoneda, MonedaEntity monedaActualizada) throws Exception {
         // Normalizar nombre
         String nombreNormalizado = Util.normalizarCadena(nombreMoneda);
 
         // Buscar moneda existente
-        MonedaEntity monedaExistente = MonedaEntity.findByNombreMoneda(nombreNormalizado);
+        MonedaEntity monedaExistente = MonedaEntity.findByNombreMoneda(inquilino, nombreNormalizado);
 
         if (monedaExistente == null) {
             LOG.warnf("Intento de actualizar moneda inexistente: %s", nombreNormalizado);
@@ -108,9 +128,17 @@ public class MonedaService {
         // Actualizar campos
         monedaExistente.nombreMoneda = Util.normalizarCadena(monedaActualizada.nombreMoneda);
         monedaExistente.tipoCambio = monedaActualizada.tipoCambio;
+        // La política de redondeo se conserva si no se envía
+        if (monedaActualizada.escala != null) {
+            monedaExistente.escala = monedaActualizada.escala;
+        }
+        if (monedaActualizada.modoRedondeo != null) {
+            monedaExistente.modoRedondeo = monedaActualizada.modoRedondeo;
+        }
 
         // Panache actualiza automáticamente al estar en transacción
         monedaExistente.persist();
+        catalogo.invalidar(monedaExistente.inquilino);
         LOG.infof("Moneda actualizada: ID=%d, Nuevo nombre=%s, Nuevo tipo cambio=%s",
                 monedaExistente.id, monedaExistente.nombreMoneda, monedaExistente.tipoCambio);
 
@@ -120,12 +148,14 @@ public class MonedaService {
     /**
      * Elimina una moneda por su ID
      *
-     * @param id ID de la moneda a eliminar
+     * @param inquilino Catálogo de monedas (null = catálogo por defecto)
+     * @param id        ID de la moneda a eliminar
      */
     @Transactional
-    public void eliminarMoneda(Long id) {
-        MonedaEntity moneda = buscarPorId(id);
+    public void eliminarMoneda(String inquilino, Long id) {
+        MonedaEntity moneda = buscarPorId(inquilino, id);
         moneda.delete();
+        catalogo.invalidar(moneda.inquilino);
         LOG.infof("Moneda eliminada: ID=%d, Nombre=%s", id, moneda.nombreMoneda);
     }
 
@@ -134,62 +164,151 @@ public class MonedaService {
      * <p>
      * Equivalente al método calcularCambio() de Spring Boot
      *
-     * @param request Request con monto, moneda origen y destino
+     * @param inquilino Catálogo de monedas a usar (null = catálogo por defecto)
+     * @param request   Request con monto, moneda origen y destino
      * @return Response con resultado de la conversión
      */
-    public ConversorResponse calcularConversion(ConversorRequest request) {
+    public ConversorResponse calcularConversion(String inquilino, ConversorRequest request) {
         LOG.infof("=== INICIANDO CONVERSIÓN ===");
         LOG.infof("Monto: %s, Origen: %s, Destino: %s",
                 request.getMonto(), request.getMonedaOrigen(), request.getMonedaDestino());
 
-        // 1. Normalizar el nombre de la moneda destino
+        // Catálogo en memoria del inquilino
+        Map<String, TasaCambio> tasas = catalogo.obtener(Util.normalizarInquilino(inquilino));
+
+        ConversorResponse response = convertir(tasas, request);
+
+        LOG.infof("=== CONVERSIÓN EXITOSA ===");
+        LOG.infof("Resultado: %s %s -> %s %s (Tipo cambio: %s)",
+                response.getMontoOriginal(),
+                response.getMonedaOrigen(),
+                response.getMontoConvertido(),
+                response.getMonedaDestino(),
+                response.getTipoCambio());
+
+        return response;
+    }
+
+    /**
+     * Conversión pura sobre un catálogo ya cargado: sin BD ni logs por registro,
+     * reutilizable por procesos masivos (ver ReconciliacionJob)
+     *
+     * @param tasas   Catálogo del inquilino (nombreMoneda -> tasa)
+     * @param request Request con monto, moneda origen y destino
+     * @return Response con resultado de la conversión
+     */
+    public static ConversorResponse convertir(Map<String, TasaCambio> tasas, ConversorRequest request) {
+        // 1. Normalizar el nombre de las monedas origen y destino
+        String nombreOrigen = Util.normalizarCadena(request.getMonedaOrigen());
         String nombreDestino = Util.normalizarCadena(request.getMonedaDestino());
-        LOG.debugf("Moneda destino normalizada: %s", nombreDestino);
 
-        // 2. Buscar la moneda destino en la base de datos
-        MonedaEntity monedaDestino = MonedaEntity.findByNombreMoneda(nombreDestino);
+        // 2. Buscar origen y destino en el catálogo
+        // (el origen solo aporta su política de redondeo, puede no estar registrado)
+        TasaCambio monedaOrigen = tasas.get(nombreOrigen);
+        TasaCambio monedaDestino = tasas.get(nombreDestino);
 
         if (monedaDestino == null) {
-            LOG.errorf("Moneda destino no encontrada: %s", nombreDestino);
             throw new NotFoundException("Moneda no encontrada o registrada: [" + nombreDestino + "]");
         }
 
-        LOG.infof("Moneda destino encontrada: ID=%d, Tipo cambio=%s",
-                monedaDestino.id, monedaDestino.tipoCambio);
-
         // 3. Calcular el monto convertido
         // Fórmula: montoConvertido = monto * tipoCambio
-        BigDecimal resultado = Util.multiplicar(request.getMonto(), monedaDestino.tipoCambio);
-
-        LOG.debugf("Cálculo: %s * %s = %s",
-                request.getMonto(), monedaDestino.tipoCambio, resultado);
-
-        // 4. Construir la respuesta
-        ConversorResponse response = new ConversorResponse();
-
-        // Redondear monto original a 2 decimales
-        response.setMontoOriginal(Util.redondarDecimales(request.getMonto(), 2));
+        BigDecimal resultado = Util.multiplicar(request.getMonto(), monedaDestino.getTipoCambio());
+
+        // 4. Construir la respuesta: montos redondeados según la moneda
+        // (monto original con 2 decimales si el origen no está registrado)
+        return new ConversorResponse(
+                redondearOrigen(monedaOrigen, request.getMonto()),
+                monedaDestino.redondear(resultado),
+                nombreOrigen,
+                nombreDestino,
+                monedaDestino.getTipoCambio());
+    }
 
-        // Redondear monto convertido a 2 decimales
-        response.setMontoConvertido(Util.redondarDecimales(resultado, 2));
+    /**
+     * Calcula la conversión de un mismo monto a varias monedas destino
+     * en una sola pasada sobre el catálogo del inquilino.
+     * <p>
+     * Si no se indican monedas destino se convierte a todas las registradas.
+     *
+     * @param inquilino Catálogo de monedas a usar (null = catálogo por defecto)
+     * @param request   Request con monto, moneda origen y monedas destino
+     * @return Response columnar con los montos convertidos
+     */
+    public ConversorMultipleResponse calcularConversionMultiple(String inquilino, ConversorMultipleRequest request) {
+        LOG.infof("Conversión múltiple: %s %s -> %s",
+                request.getMonto(), request.getMonedaOrigen(), request.getMonedasDestino());
+
+        // 1. Normalizar monedas destino conservando el orden y sin duplicados
+        Set<String> nombresDestino = new LinkedHashSet<>();
+        if (request.getMonedasDestino() != null) {
+            for (String nombre : request.getMonedasDestino()) {
+                if (nombre != null && !nombre.isBlank()) {
+                    nombresDestino.add(Util.normalizarCadena(nombre));
+                }
+            }
+        }
 
-        // Normalizar moneda origen
-        response.setMonedaOrigen(Util.normalizarCadena(request.getMonedaOrigen()));
+        String nombreOrigen = Util.normalizarCadena(request.getMonedaOrigen());
+
+        // 2. Todas las monedas del catálogo (ya en orden alfabético) o solo las solicitadas
+        Map<String, TasaCambio> tasas = catalogo.obtener(Util.normalizarInquilino(inquilino));
+        Collection<TasaCambio> monedas;
+        if (nombresDestino.isEmpty()) {
+            monedas = tasas.values();
+            if (monedas.isEmpty()) {
+                LOG.warn("No se encontraron monedas registradas");
+                throw new NotFoundException("No se encontraron registros de monedas");
+            }
+        } else {
+            List<TasaCambio> solicitadas = new ArrayList<>(nombresDestino.size());
+            List<String> faltantes = new ArrayList<>();
+            for (String nombre : nombresDestino) {
+                TasaCambio moneda = tasas.get(nombre);
+                if (moneda == null) {
+                    faltantes.add(nombre);
+                } else {
+                    solicitadas.add(moneda);
+                }
+            }
+
+            if (!faltantes.isEmpty()) {
+                LOG.errorf("Monedas destino no encontradas: %s", faltantes);
+                throw new NotFoundException("Moneda no encontrada o registrada: " + faltantes);
+            }
+            monedas = solicitadas;
+        }
 
-        // Moneda destino ya normalizada
-        response.setMonedaDestino(nombreDestino);
+        // 3. Calcular cada destino en una sola pasada
+        List<String> monedasDestino = new ArrayList<>(monedas.size());
+        List<BigDecimal> montosConvertidos = new ArrayList<>(monedas.size());
+        List<BigDecimal> tiposCambio = new ArrayList<>(monedas.size());
+        for (TasaCambio moneda : monedas) {
+            BigDecimal resultado = Util.multiplicar(request.getMonto(), moneda.getTipoCambio());
+            monedasDestino.add(moneda.getNombreMoneda());
+            montosConvertidos.add(moneda.redondear(resultado));
+            tiposCambio.add(moneda.getTipoCambio());
+        }
 
-        // Tipo de cambio utilizado
-        response.setTipoCambio(monedaDestino.tipoCambio);
-
-        LOG.infof("=== CONVERSIÓN EXITOSA ===");
-        LOG.infof("Resultado: %s %s -> %s %s (Tipo cambio: %s)",
-                response.getMontoOriginal(),
-                response.getMonedaOrigen(),
-                response.getMontoConvertido(),
-                response.getMonedaDestino(),
-                response.getTipoCambio());
+        // 4. Monto original redondeado una sola vez para todas las columnas
+        ConversorMultipleResponse response = new ConversorMultipleResponse(
+                redondearOrigen(tasas.get(nombreOrigen), request.getMonto()),
+                nombreOrigen,
+                monedasDestino,
+                montosConvertidos,
+                tiposCambio);
 
+        LOG.infof("Conversión múltiple exitosa: %d monedas destino", monedasDestino.size());
         return response;
     }
-}
\ No newline at end of file
+
+    /**
+     * Redondea el monto original con la política de la moneda origen,
+     * o con la política por defecto si la moneda origen no está registrada
+     */
+    private static BigDecimal redondearOrigen(TasaCambio monedaOrigen, BigDecimal monto) {
+        return monedaOrigen != null
+                ? monedaOrigen.redondear(monto)
+                : MonedaEntity.redondear(monto, null, null);
+    }
+}
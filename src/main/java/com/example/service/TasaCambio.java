@@ -0,0 +1,46 @@
+package com.example.service;
+
+import com.example.entity.MonedaEntity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Copia inmutable de una moneda del catálogo en memoria:
+ * tipo de cambio junto con su política de redondeo ya resuelta.
+ */
+public final class TasaCambio {
+
+    private final String nombreMoneda;
+    private final BigDecimal tipoCambio;
+    private final int escala;
+    private final RoundingMode modoRedondeo;
+
+    public TasaCambio(MonedaEntity moneda) {
+        this.nombreMoneda = moneda.nombreMoneda;
+        this.tipoCambio = moneda.tipoCambio;
+        this.escala = moneda.escala != null ? moneda.escala : MonedaEntity.ESCALA_POR_DEFECTO;
+        this.modoRedondeo = moneda.modoRedondeo != null ? moneda.modoRedondeo : MonedaEntity.MODO_REDONDEO_POR_DEFECTO;
+    }
+
+    // Redondea un monto según la política de esta moneda
+    public BigDecimal redondear(BigDecimal valor) {
+        return MonedaEntity.redondear(valor, escala, modoRedondeo);
+    }
+
+    public String getNombreMoneda() {
+        return nombreMoneda;
+    }
+
+    public BigDecimal getTipoCambio() {
+        return tipoCambio;
+    }
+
+    public int getEscala() {
+        return escala;
+    }
+
+    public RoundingMode getModoRedondeo() {
+        return modoRedondeo;
+    }
+}
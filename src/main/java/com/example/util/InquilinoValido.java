@@ -0,0 +1,29 @@
+package com.example.util;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import jakarta.validation.ReportAsSingleViolation;
+import jakarta.validation.constraints.Pattern;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Valida el identificador de inquilino recibido (cabecera X-Inquilino):
+ * hasta 64 caracteres alfanuméricos, '_' o '-'; vacío o ausente = catálogo por defecto
+ */
+@Pattern(regexp = Util.PATRON_INQUILINO)
+@ReportAsSingleViolation
+@Constraint(validatedBy = {})
+@Target({ElementType.PARAMETER, ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface InquilinoValido {
+
+    String message() default Util.MENSAJE_INQUILINO_INVALIDO;
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
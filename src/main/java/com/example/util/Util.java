@@ -10,6 +10,19 @@ import java.text.Normalizer;
  */
 public class Util {
 
+    /**
+     * Catálogo usado cuando la petición no indica inquilino
+     */
+    public static final String INQUILINO_POR_DEFECTO = "DEFAULT";
+
+    /**
+     * Formato permitido para el identificador de inquilino (ver {@link InquilinoValido})
+     */
+    public static final String PATRON_INQUILINO = "[A-Za-z0-9_-]{0,64}";
+
+    public static final String MENSAJE_INQUILINO_INVALIDO =
+            "El inquilino debe tener como máximo 64 caracteres alfanuméricos, '_' o '-'";
+
     /**
      * Multiplica dos valores BigDecimal
      * @param valorA Primer valor
@@ -27,7 +40,18 @@ public class Util {
      * @return Valor redondeado o el mismo valor si es null
      */
     public static BigDecimal redondarDecimales(BigDecimal valor, int numDecimales) {
-        return (valor == null) ? null : valor.setScale(numDecimales, RoundingMode.HALF_UP);
+        return redondarDecimales(valor, numDecimales, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Redondea un BigDecimal a un número específico de decimales con el modo indicado
+     * @param valor Valor a redondear
+     * @param numDecimales Número de decimales
+     * @param modoRedondeo Modo de redondeo
+     * @return Valor redondeado o el mismo valor si es null
+     */
+    public static BigDecimal redondarDecimales(BigDecimal valor, int numDecimales, RoundingMode modoRedondeo) {
+        return (valor == null) ? null : valor.setScale(numDecimales, modoRedondeo);
     }
 
     /**
@@ -61,6 +85,31 @@ public class Util {
         return normalized.toUpperCase();
     }
 
+    /**
+     * Normaliza el identificador de inquilino (catálogo de monedas)
+     * igual que los nombres de moneda; vacío o null equivale al catálogo por defecto
+     *
+     * @param inquilino Identificador recibido (cabecera X-Inquilino, campo gRPC...)
+     * @return Inquilino normalizado
+     */
+    public static String normalizarInquilino(String inquilino) {
+        if (inquilino == null || inquilino.isBlank()) {
+            return INQUILINO_POR_DEFECTO;
+        }
+        return normalizarCadena(inquilino);
+    }
+
+    /**
+     * Indica si el identificador de inquilino cumple {@link #PATRON_INQUILINO}
+     * (null equivale al catálogo por defecto)
+     *
+     * @param inquilino Identificador recibido
+     * @return true si es válido
+     */
+    public static boolean esInquilinoValido(String inquilino) {
+        return inquilino == null || inquilino.matches(PATRON_INQUILINO);
+    }
+
     /**
      * Valida que un BigDecimal sea mayor a cero
      * @param valor Valor a validar
@@ -0,0 +1,30 @@
+-- Migración para bases de datos creadas antes de los catálogos por inquilino.
+--
+-- Antes, nombreMoneda tenía una restricción única propia (@Column(unique = true)).
+-- Con quarkus.hibernate-orm.database.generation=update Hibernate añade la columna
+-- inquilino y la restricción uk_moneda_inquilino_nombre, pero nunca elimina la
+-- restricción antigua: registrar en un inquilino un nombre que ya existe en otro
+-- fallaría por violación de unicidad. Este script la elimina.
+--
+-- Es idempotente (PostgreSQL). Ejecutar una vez, con la aplicación ya arrancada
+-- al menos una vez con la versión nueva:
+--   docker exec -i postgres-moneda psql -U postgres -d monedadb < src/main/resources/db/migracion-inquilinos.sql
+
+DO $$
+DECLARE
+    restriccion record;
+BEGIN
+    FOR restriccion IN
+        SELECT c.conname
+        FROM pg_constraint c
+                 JOIN pg_class t ON t.oid = c.conrelid
+                 JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = c.conkey[1]
+        WHERE t.relname = 'moneda'
+          AND c.contype = 'u'
+          AND array_length(c.conkey, 1) = 1
+          AND a.attname IN ('nombre_moneda', 'nombremoneda')
+    LOOP
+        EXECUTE format('ALTER TABLE moneda DROP CONSTRAINT %I', restriccion.conname);
+        RAISE NOTICE 'Restricción eliminada: %', restriccion.conname;
+    END LOOP;
+END $$;
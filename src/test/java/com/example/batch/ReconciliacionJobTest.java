@@ -0,0 +1,50 @@
+package com.example.batch;
+
+import com.example.entity.MonedaEntity;
+import com.example.service.TasaCambio;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas unitarias del estado de cada fila reconciliada (sin BD ni Quarkus)
+ */
+class ReconciliacionJobTest {
+
+    private static final Map<String, TasaCambio> TASAS =
+            Map.of("EURO", new TasaCambio(new MonedaEntity("Euro", new BigDecimal("3.96"))));
+
+    @Test
+    void monedaConPrefijoErrorNoCuentaComoError() {
+        ReconciliacionJob.Resultado resultado = ReconciliacionJob.reconciliar(7, "100,ERRORCOIN,EURO", TASAS);
+
+        assertEquals(ReconciliacionJob.Estado.CALCULADO, resultado.estado);
+        assertEquals("7,100,ERRORCOIN,EURO,396.00,,CALCULADO", resultado.fila);
+    }
+
+    @Test
+    void montoEsperadoDistintoEsDiferencia() {
+        ReconciliacionJob.Resultado resultado = ReconciliacionJob.reconciliar(2, "100,Soles,Euro,396.01", TASAS);
+
+        assertEquals(ReconciliacionJob.Estado.DIFERENCIA, resultado.estado);
+        assertEquals("2,100,Soles,Euro,396.00,396.01,DIFERENCIA", resultado.fila);
+    }
+
+    @Test
+    void destinoNoRegistradoEsError() {
+        ReconciliacionJob.Resultado resultado = ReconciliacionJob.reconciliar(3, "100,Soles,Yen", TASAS);
+
+        assertEquals(ReconciliacionJob.Estado.ERROR, resultado.estado);
+    }
+
+    @Test
+    void formatoInvalidoEsError() {
+        ReconciliacionJob.Resultado resultado = ReconciliacionJob.reconciliar(4, "100;Soles", TASAS);
+
+        assertEquals(ReconciliacionJob.Estado.ERROR, resultado.estado);
+        assertEquals("4,,,,,,ERROR: formato inválido", resultado.fila);
+    }
+}
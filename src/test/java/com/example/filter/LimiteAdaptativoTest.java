@@ -0,0 +1,63 @@
+package com.example.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas unitarias del límite AIMD del control de admisión
+ */
+class LimiteAdaptativoTest {
+
+    @Test
+    void rechazaAlSuperarElLimite() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(1, 3, Duration.ofSeconds(1));
+
+        assertTrue(limite.intentarAdquirir());
+        assertTrue(limite.intentarAdquirir());
+        assertTrue(limite.intentarAdquirir());
+        assertFalse(limite.intentarAdquirir());
+        assertEquals(3, limite.getEnCurso());
+
+        limite.liberar(0);
+        assertTrue(limite.intentarAdquirir());
+    }
+
+    @Test
+    void reduceConLatenciaAltaYRecuperaConLatenciaBaja() throws InterruptedException {
+        LimiteAdaptativo limite = new LimiteAdaptativo(1, 10, Duration.ofNanos(1));
+        Thread.sleep(1);
+
+        // Una petición lenta: 10 * 0.9 = 9
+        assertTrue(limite.intentarAdquirir());
+        limite.liberar(Duration.ofSeconds(1).toNanos());
+        assertEquals(9, limite.getLimite());
+
+        // Peticiones rápidas con el cupo en uso: vuelve a subir hasta el máximo
+        for (int i = 0; i < 100; i++) {
+            for (int j = 0; j < limite.getLimite(); j++) {
+                limite.intentarAdquirir();
+            }
+            while (limite.getEnCurso() > 0) {
+                limite.liberar(0);
+            }
+        }
+        assertEquals(10, limite.getLimite());
+    }
+
+    @Test
+    void noBajaDelMinimo() throws InterruptedException {
+        LimiteAdaptativo limite = new LimiteAdaptativo(2, 4, Duration.ofNanos(1));
+
+        for (int i = 0; i < 20; i++) {
+            Thread.sleep(1);
+            limite.intentarAdquirir();
+            limite.liberar(Duration.ofSeconds(1).toNanos());
+        }
+        assertEquals(2, limite.getLimite());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.provider;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.core.MediaType;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Coste de codificar/decodificar los DTOs de conversión en JSON vs CBOR.
+ * Los tiempos solo se registran (no se validan) porque dependen de la máquina.
+ * Excluida del build normal; reproducir con:
+ * {@code ./mvnw test -Pbenchmark -Dtest=CborProviderBenchmarkTest}
+ */
+@Tag("benchmark")
+class CborProviderBenchmarkTest {
+
+    private static final Logger LOG = Logger.getLogger(CborProviderBenchmarkTest.class);
+
+    private static final MediaType CBOR = MediaType.valueOf(CborProvider.APPLICATION_CBOR);
+    private static final Annotation[] SIN_ANOTACIONES = new Annotation[0];
+    private static final int CALENTAMIENTO = 20_000;
+    private static final int ITERACIONES = 200_000;
+
+    private final CborProvider provider = new CborProvider();
+    private final ObjectMapper json = new ObjectMapper();
+
+    @Test
+    void coste_de_serializacion_json_vs_cbor() throws IOException {
+        medirYRegistrar("ConversorRequest", CborProviderTest.request());
+        medirYRegistrar("ConversorResponse", CborProviderTest.response());
+    }
+
+    private void medirYRegistrar(String nombre, Object dto) throws IOException {
+        Class<?> tipo = dto.getClass();
+        byte[] bytesJson = json.writeValueAsBytes(dto);
+        byte[] bytesCbor = escribirCbor(dto);
+
+        // Calentamiento del JIT antes de medir
+        medir(dto, tipo, bytesJson, bytesCbor, CALENTAMIENTO);
+        long[] nanos = medir(dto, tipo, bytesJson, bytesCbor, ITERACIONES);
+
+        LOG.infof("%-18s | tamaño JSON %4d B, CBOR %4d B | ns/op escribir JSON %6.0f, CBOR %6.0f"
+                        + " | ns/op leer JSON %6.0f, CBOR %6.0f",
+                nombre, bytesJson.length, bytesCbor.length,
+                (double) nanos[0] / ITERACIONES, (double) nanos[1] / ITERACIONES,
+                (double) nanos[2] / ITERACIONES, (double) nanos[3] / ITERACIONES);
+    }
+
+    /**
+     * @return nanosegundos totales: escribir JSON, escribir CBOR, leer JSON, leer CBOR
+     */
+    private long[] medir(Object dto, Class<?> tipo, byte[] bytesJson, byte[] bytesCbor, int iteraciones)
+            throws IOException {
+        long[] nanos = new long[4];
+        long sumidero = 0;
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < iteraciones; i++) {
+            sumidero += json.writeValueAsBytes(dto).length;
+        }
+        nanos[0] = System.nanoTime() - inicio;
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < iteraciones; i++) {
+            sumidero += escribirCbor(dto).length;
+        }
+        nanos[1] = System.nanoTime() - inicio;
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < iteraciones; i++) {
+            sumidero += json.readValue(bytesJson, tipo).hashCode() & 1;
+        }
+        nanos[2] = System.nanoTime() - inicio;
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < iteraciones; i++) {
+            sumidero += leerCbor(bytesCbor, tipo).hashCode() & 1;
+        }
+        nanos[3] = System.nanoTime() - inicio;
+
+        // Evita que el JIT elimine los bucles como código muerto
+        assertTrue(sumidero > 0);
+        return nanos;
+    }
+
+    private byte[] escribirCbor(Object dto) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        provider.writeTo(dto, dto.getClass(), dto.getClass(), SIN_ANOTACIONES, CBOR, null, out);
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object leerCbor(byte[] bytes, Class<?> tipo) throws IOException {
+        return provider.readFrom((Class) tipo, tipo, SIN_ANOTACIONES, CBOR, null, new ByteArrayInputStream(bytes));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.provider;
+
+import com.example.dto.ConversorRequest;
+import com.example.dto.ConversorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del formato CBOR para los DTOs de conversión: ida y vuelta sin
+ * pérdida de escala y tamaño menor que JSON.
+ * El coste de serialización se mide en {@link CborProviderBenchmarkTest}.
+ */
+class CborProviderTest {
+
+    private static final MediaType CBOR = MediaType.valueOf(CborProvider.APPLICATION_CBOR);
+    private static final Annotation[] SIN_ANOTACIONES = new Annotation[0];
+
+    private final CborProvider provider = new CborProvider();
+    private final ObjectMapper json = new ObjectMapper();
+
+    static ConversorRequest request() {
+        return new ConversorRequest(new BigDecimal("253.408233"), "Soles", "Euro");
+    }
+
+    static ConversorResponse response() {
+        return new ConversorResponse(new BigDecimal("253.41"), new BigDecimal("1003.50"),
+                "SOLES", "EURO", new BigDecimal("3.96"));
+    }
+
+    @Test
+    void ida_y_vuelta_conserva_BigDecimal_con_escala() throws IOException {
+        ConversorResponse original = response();
+
+        ConversorResponse leido = (ConversorResponse) leerCbor(escribirCbor(original), ConversorResponse.class);
+
+        assertEquals(original.getMontoOriginal(), leido.getMontoOriginal());
+        assertEquals(original.getMontoConvertido(), leido.getMontoConvertido());
+        assertEquals(2, leido.getMontoConvertido().scale());
+        assertEquals(original.getTipoCambio(), leido.getTipoCambio());
+        assertEquals(original.getMonedaDestino(), leido.getMonedaDestino());
+    }
+
+    @Test
+    void cbor_es_mas_compacto_que_json() throws IOException {
+        comparar("ConversorRequest", request());
+        comparar("ConversorResponse", response());
+    }
+
+    private void comparar(String nombre, Object dto) throws IOException {
+        byte[] bytesJson = json.writeValueAsBytes(dto);
+        byte[] bytesCbor = escribirCbor(dto);
+        assertTrue(bytesCbor.length < bytesJson.length,
+                nombre + ": CBOR " + bytesCbor.length + " B >= JSON " + bytesJson.length + " B");
+    }
+
+    private byte[] escribirCbor(Object dto) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        provider.writeTo(dto, dto.getClass(), dto.getClass(), SIN_ANOTACIONES, CBOR, null, out);
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object leerCbor(byte[] bytes, Class<?> tipo) throws IOException {
+        return provider.readFrom((Class) tipo, tipo, SIN_ANOTACIONES, CBOR, null, new ByteArrayInputStream(bytes));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.service;
+
+import com.example.dto.ConversorRequest;
+import com.example.dto.ConversorResponse;
+import com.example.entity.MonedaEntity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas unitarias de la política de redondeo por moneda (sin BD ni Quarkus)
+ */
+class MonedaServiceTest {
+
+    private static TasaCambio tasa(String nombre, String tipoCambio, Integer escala, RoundingMode modo) {
+        MonedaEntity moneda = new MonedaEntity(nombre, new BigDecimal(tipoCambio));
+        moneda.escala = escala;
+        moneda.modoRedondeo = modo;
+        return new TasaCambio(moneda);
+    }
+
+    private static Map<String, TasaCambio> catalogo(TasaCambio... tasas) {
+        Map<String, TasaCambio> catalogo = new LinkedHashMap<>();
+        for (TasaCambio tasa : tasas) {
+            catalogo.put(tasa.getNombreMoneda(), tasa);
+        }
+        return catalogo;
+    }
+
+    @Test
+    void escalaCeroRedondeaSinDecimales() {
+        Map<String, TasaCambio> tasas = catalogo(
+                tasa("Soles", "1", 2, RoundingMode.HALF_UP),
+                tasa("Yen", "39.7", 0, RoundingMode.HALF_EVEN));
+
+        ConversorResponse response = MonedaService.convertir(tasas,
+                new ConversorRequest(new BigDecimal("10.05"), "soles", "yen"));
+
+        // 10.05 * 39.7 = 398.985 -> 399
+        assertEquals(new BigDecimal("399"), response.getMontoConvertido());
+        assertEquals(new BigDecimal("10.05"), response.getMontoOriginal());
+        assertEquals("YEN", response.getMonedaDestino());
+    }
+
+    @Test
+    void escalaOchoConservaOchoDecimales() {
+        Map<String, TasaCambio> tasas = catalogo(
+                tasa("Bitcoin", "0.0000041234567", 8, RoundingMode.DOWN));
+
+        ConversorResponse response = MonedaService.convertir(tasas,
+                new ConversorRequest(new BigDecimal("100"), "Soles", "bitcoin"));
+
+        // 100 * 0.0000041234567 = 0.00041234567 -> 0.00041234 (DOWN)
+        assertEquals(new BigDecimal("0.00041234"), response.getMontoConvertido());
+        assertEquals(8, response.getMontoConvertido().scale());
+    }
+
+    @Test
+    void origenNoRegistradoUsaDosDecimalesHalfUp() {
+        Map<String, TasaCambio> tasas = catalogo(
+                tasa("Euro", "3.96", 2, RoundingMode.HALF_UP));
+
+        ConversorResponse response = MonedaService.convertir(tasas,
+                new ConversorRequest(new BigDecimal("253.408233"), "Sóles", "euro"));
+
+        assertEquals(new BigDecimal("253.41"), response.getMontoOriginal());
+        assertEquals(new BigDecimal("1003.50"), response.getMontoConvertido());
+        assertEquals("SOLES", response.getMonedaOrigen());
+    }
+
+    @Test
+    void origenRegistradoAplicaSuEscala() {
+        Map<String, TasaCambio> tasas = catalogo(
+                tasa("Yen", "0.025", 0, RoundingMode.HALF_UP),
+                tasa("Euro", "3.96", 2, RoundingMode.HALF_UP));
+
+        ConversorResponse response = MonedaService.convertir(tasas,
+                new ConversorRequest(new BigDecimal("1500.6"), "yen", "euro"));
+
+        assertEquals(new BigDecimal("1501"), response.getMontoOriginal());
+    }
+
+    @Test
+    void monedaSinPoliticaUsaPorDefecto() {
+        TasaCambio dolar = tasa("Dolar", "3.75", null, null);
+
+        assertEquals(MonedaEntity.ESCALA_POR_DEFECTO, dolar.getEscala());
+        assertEquals(MonedaEntity.MODO_REDONDEO_POR_DEFECTO, dolar.getModoRedondeo());
+        assertEquals(new BigDecimal("1.13"), dolar.redondear(new BigDecimal("1.125")));
+
+        ConversorResponse response = MonedaService.convertir(catalogo(dolar),
+                new ConversorRequest(new BigDecimal("1.005"), "Soles", "dolar"));
+
+        // 1.005 * 3.75 = 3.76875 -> 3.77
+        assertEquals(new BigDecimal("3.77"), response.getMontoConvertido());
+        assertEquals(new BigDecimal("1.01"), response.getMontoOriginal());
+    }
+}